@@ -1,14 +1,16 @@
 package com.alibou.security.auth;
 
+import com.alibou.security.config.EndpointAccess;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * 提供注册和登录接口的控制器类。
- * 接口路径统一以 "/api/v1/auth" 开头。
+ * 接口路径统一以 "/api/v1/auth" 开头，无需认证即可访问。
  */
 @RestController
+@EndpointAccess(permitAll = true)
 @RequestMapping("api/v1/auth")
 @RequiredArgsConstructor
 public class AuthenticationController {
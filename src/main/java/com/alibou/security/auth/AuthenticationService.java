@@ -4,6 +4,8 @@ import com.alibou.security.config.JwtService;
 import com.alibou.security.user.Role;
 import com.alibou.security.user.User;
 import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +23,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder; // 密码加密器
     private final JwtService jwtService; // JWT 生成与验证服务
     private final AuthenticationManager authenticationManager; // Spring Security 的认证管理器
+    private final MeterRegistry meterRegistry; // 指标注册中心
 
 
     /**
@@ -47,23 +50,29 @@ public class AuthenticationService {
 
     /**
      * 用户登录逻辑：
-     * - 使用 AuthenticationManager 验证用户凭证
-     * - 获取用户信息
+     * - 使用 AuthenticationManager 验证用户凭证（strength 不一致的密码哈希会在此时被重新加密）
+     * - 从认证结果中获取用户信息
      * - 生成并返回 JWT Token
+     * - 记录登录耗时
      */
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),     // 传入用户名（邮箱）
-                        request.getPassword()   // 传入密码
-                )
-        );
-        var user = repository.findByEmail(request.getEmail())
-                .orElseThrow(); // 从数据库获取用户信息
-        var jwtToken = jwtService.generateToken(user); // 为用户生成 JWT
-        return AuthenticationResponse.builder()
-                .token(jwtToken) // 返回 token
-                .build();
-
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            var authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),     // 传入用户名（邮箱）
+                            request.getPassword()   // 传入密码
+                    )
+            );
+            var user = (User) authentication.getPrincipal(); // 认证时已从数据库加载的用户信息
+            var jwtToken = jwtService.generateToken(user); // 为用户生成 JWT
+            outcome = "success";
+            return AuthenticationResponse.builder()
+                    .token(jwtToken) // 返回 token
+                    .build();
+        } finally {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", outcome)); // 记录登录耗时
+        }
     }
 }
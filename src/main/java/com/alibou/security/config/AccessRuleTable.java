@@ -0,0 +1,291 @@
+package com.alibou.security.config;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译的接口访问规则表：按路径段组织成前缀树（trie），每个节点再按 HTTP 方法建立索引。
+ * 一次请求只需沿路径段向下查找一次，耗时与路径深度相关，而与规则数量无关，
+ * 替代 Spring Security 对 requestMatchers 的逐条线性匹配。
+ * 核心约定：
+ * - 路径段只支持字面量、整段通配（*、{var}）和末尾的多段通配（**、{*var}），
+ *   部分通配（如 *.json、{name}.pdf、{id:\d+}、file-?）在编译时直接拒绝，避免放宽访问范围
+ * - 请求路径按 Spring MVC 的方式解码后再匹配
+ * - 多条规则都能匹配时，按 PathPattern.SPECIFICITY_COMPARATOR 选出最具体的一条，
+ *   与 Spring MVC 选择处理方法的顺序一致；同一路径上指定方法的规则优先于不限方法的规则
+ * - HEAD 请求沿用 GET 规则；OPTIONS 请求只要该路径任一已声明方法允许访问即放行
+ */
+public final class AccessRuleTable {
+
+    private static final Pattern CAPTURE = Pattern.compile("\\{[^{}:*]+}");    // 整段变量 {name}
+    private static final Pattern CATCH_ALL = Pattern.compile("\\{\\*[^{}:]+}"); // 多段变量 {*name}
+
+    private final Node root;  // 前缀树根节点
+    private final int size;   // 已编译的规则数量
+
+    private AccessRuleTable(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 将规则列表编译成规则表
+     * @param rules 访问规则
+     * @return 编译后的规则表
+     * @throws IllegalArgumentException 路径模式不合法或包含部分通配时抛出
+     * @throws IllegalStateException 同一路径和方法声明了不同的访问权限时抛出
+     */
+    public static AccessRuleTable compile(Collection<Rule> rules) {
+        Node root = new Node();
+        for (Rule rule : rules) {
+            String pattern = rule.pattern().startsWith("/") ? rule.pattern() : "/" + rule.pattern();
+            PathPattern parsed = PathPatternParser.defaultInstance.parse(pattern); // 顺带校验模式语法
+            Node node = root;
+            // 模式本身不做 URL 解码，按原样切分
+            String[] segments = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals("**") || CATCH_ALL.matcher(segment).matches()) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException(
+                                "Multi-segment wildcard must be the last segment: " + pattern);
+                    }
+                    node = node.catchAll != null ? node.catchAll : (node.catchAll = new Node());
+                } else if (segment.equals("*") || CAPTURE.matcher(segment).matches()) {
+                    node = node.wildcard != null ? node.wildcard : (node.wildcard = new Node());
+                } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0
+                        || segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                    throw new IllegalArgumentException(
+                            "Partial-segment wildcards are not supported in endpoint access rules: " + pattern);
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            node.register(parsed, rule);
+        }
+        return new AccessRuleTable(root, rules.size());
+    }
+
+    /**
+     * 查找请求对应的访问权限
+     * @param method HTTP 方法（如 GET、POST）
+     * @param path 去掉 context path 后的请求路径（未解码）
+     * @return 匹配到的访问权限，未匹配时返回 Access.authenticated()
+     */
+    public Access resolve(String method, String path) {
+        return resolve(method, PathContainer.parsePath(path));
+    }
+
+    /**
+     * 查找请求对应的访问权限
+     * @param method HTTP 方法（如 GET、POST）
+     * @param path 去掉 context path 后的请求路径，按解码后的路径段匹配
+     * @return 匹配到的访问权限，未匹配时返回 Access.authenticated()
+     */
+    public Access resolve(String method, PathContainer path) {
+        Match best = new Match();
+        match(root, split(path), 0, method, best);
+        return best.access != null ? best.access : Access.authenticated();
+    }
+
+    /**
+     * 已编译的规则数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 从 node 开始匹配第 index 个及之后的路径段，收集所有候选并保留最具体的一条
+     */
+    private static void match(Node node, List<String> segments, int index, String method, Match best) {
+        if (index == segments.size()) {
+            best.offer(node, method);
+        } else {
+            Node literal = node.literals.get(segments.get(index));
+            if (literal != null) {
+                match(literal, segments, index + 1, method, best);
+            }
+            if (node.wildcard != null) {
+                match(node.wildcard, segments, index + 1, method, best);
+            }
+        }
+        // 多段通配可匹配剩余的零个或多个路径段
+        if (node.catchAll != null) {
+            best.offer(node.catchAll, method);
+        }
+    }
+
+    /**
+     * 取出解码后的非空路径段（忽略前导/末尾斜杠以及矩阵变量）
+     */
+    private static List<String> split(PathContainer path) {
+        List<String> segments = new ArrayList<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment && !segment.valueToMatch().isEmpty()) {
+                segments.add(segment.valueToMatch());
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 一条访问规则
+     * @param pattern 路径模式，如 /api/v1/users/{id}
+     * @param methods 适用的 HTTP 方法，为空表示所有方法
+     * @param access 访问权限
+     */
+    public record Rule(String pattern, Set<String> methods, Access access) {
+    }
+
+    /**
+     * 访问权限：放行所有请求，或要求已认证且（可选）拥有任一指定角色
+     * @param permitAll 是否放行所有请求
+     * @param roles 允许的角色名（与 GrantedAuthority 对应），为空表示只要求已认证
+     */
+    public record Access(boolean permitAll, Set<String> roles) {
+
+        private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+        private static final Access PERMIT_ALL = new Access(true, Set.of());
+        private static final Access AUTHENTICATED = new Access(false, Set.of());
+
+        public static Access permitAllAccess() {
+            return PERMIT_ALL;
+        }
+
+        public static Access authenticated() {
+            return AUTHENTICATED;
+        }
+
+        public static Access anyRole(Set<String> roles) {
+            return roles.isEmpty() ? AUTHENTICATED : new Access(false, Set.copyOf(roles));
+        }
+
+        /**
+         * 判断当前认证信息是否满足该访问权限
+         * @param authentication 当前认证信息，可能为 null 或匿名
+         * @return true 允许访问，false 拒绝访问
+         */
+        public boolean isGranted(Authentication authentication) {
+            if (permitAll) {
+                return true;
+            }
+            if (!TRUST_RESOLVER.isAuthenticated(authentication)) {
+                return false;
+            }
+            if (roles.isEmpty()) {
+                return true;
+            }
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (roles.contains(authority.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 合并两个访问权限：任一允许即允许
+         */
+        private Access or(Access other) {
+            if (other == null) {
+                return this;
+            }
+            if (permitAll || other.permitAll) {
+                return PERMIT_ALL;
+            }
+            if (roles.isEmpty() || other.roles.isEmpty()) {
+                return AUTHENTICATED;
+            }
+            Set<String> union = new HashSet<>(roles);
+            union.addAll(other.roles);
+            return anyRole(union);
+        }
+    }
+
+    /**
+     * 查找过程中最具体的候选规则
+     */
+    private static final class Match {
+
+        private PathPattern pattern;
+        private Access access;
+
+        private void offer(Node node, String method) {
+            Access candidate = node.accessFor(method);
+            if (candidate != null && (pattern == null
+                    || PathPattern.SPECIFICITY_COMPARATOR.compare(node.pattern, pattern) < 0)) {
+                pattern = node.pattern;
+                access = candidate;
+            }
+        }
+    }
+
+    /**
+     * 前缀树节点：子节点按字面量段、整段通配、多段通配区分，终止规则按 HTTP 方法索引
+     */
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>(); // 字面量子节点
+        private final Map<String, Access> byMethod = new HashMap<>(); // 指定方法的规则
+        private Node wildcard;        // 整段通配子节点
+        private Node catchAll;        // 多段通配子节点
+        private PathPattern pattern;  // 终止于该节点的路径模式，用于比较特异性
+        private Access anyMethod;     // 适用于所有方法的规则
+        private Access anyDeclared;   // 所有已声明规则的合并结果，用于 OPTIONS 请求
+
+        private Access accessFor(String method) {
+            if (pattern == null) {
+                return null; // 中间节点，没有终止于此的规则
+            }
+            Access access = byMethod.get(method);
+            if (access == null && method.equals("HEAD")) {
+                access = byMethod.get("GET"); // 与 Spring MVC 一致：GET 接口同时处理 HEAD
+            }
+            if (access == null) {
+                access = anyMethod;
+            }
+            if (access == null && method.equals("OPTIONS")) {
+                access = anyDeclared; // OPTIONS（含 CORS 预检）由 Spring MVC 隐式处理
+            }
+            return access;
+        }
+
+        private void register(PathPattern parsed, Rule rule) {
+            if (pattern == null) {
+                pattern = parsed;
+            }
+            if (rule.methods().isEmpty()) {
+                anyMethod = merge(anyMethod, rule);
+            } else {
+                for (String method : rule.methods()) {
+                    byMethod.put(method, merge(byMethod.get(method), rule));
+                }
+            }
+            anyDeclared = rule.access().or(anyDeclared);
+        }
+
+        private static Access merge(Access existing, Rule rule) {
+            if (existing != null && !existing.equals(rule.access())) {
+                throw new IllegalStateException(
+                        "Conflicting access rules for " + rule.methods() + " " + rule.pattern());
+            }
+            return rule.access();
+        }
+    }
+}
@@ -1,16 +1,15 @@
 package com.alibou.security.config;
 
 import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -22,16 +21,28 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class ApplicationConfig {
 
     private final UserRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.security.password.strength:0}")
+    private int pinnedStrength; // 固定的 BCrypt 工作因子，大于 0 时跳过校准
+
+    @Value("${application.security.password.target-hash-millis:250}")
+    private long targetHashMillis; // 单次密码哈希的目标耗时（毫秒）
+
+    @Value("${application.security.password.min-strength:10}")
+    private int minStrength; // BCrypt 最小工作因子
+
+    @Value("${application.security.password.max-strength:14}")
+    private int maxStrength; // BCrypt 最大工作因子
 
     /**
      * 定义用户详情服务（UserDetailsService）
-     * 用于根据用户名（email）从数据库加载用户信息
+     * 用于根据用户名（email）从数据库加载用户信息，
+     * 同时负责在登录时把 strength 不一致的密码哈希重新加密后写回
      */
     @Bean
-    public UserDetailsService userDetailsService() {
-        // Lambda 实现接口，根据用户名查询用户，找不到则抛出异常
-        return username -> repository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("USER NOT FOUND"));
+    public PasswordUpgradingUserDetailsService userDetailsService() {
+        return new PasswordUpgradingUserDetailsService(repository, meterRegistry);
     }
 
     /**
@@ -40,10 +51,8 @@ public class ApplicationConfig {
      */
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authprovider = new DaoAuthenticationProvider();
-        authprovider.setUserDetailsService(userDetailsService()); // 设置用户详情服务
-        authprovider.setPasswordEncoder(passwordEncoder());       // 设置密码加密器
-        return authprovider;
+        // 设置用户详情服务与密码加密器，登录成功后按需重新加密密码
+        return new PasswordUpgradingAuthenticationProvider(userDetailsService(), passwordEncoder(), meterRegistry);
     }
 
     /**
@@ -57,10 +66,16 @@ public class ApplicationConfig {
 
     /**
      * 定义密码加密器（PasswordEncoder）
-     * 使用 BCrypt 加密算法
+     * 使用 BCrypt 加密算法，配置了固定工作因子时直接使用，否则启动时根据本机哈希耗时校准
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        var encoder = pinnedStrength > 0
+                ? new CalibratedPasswordEncoder(pinnedStrength)
+                : CalibratedPasswordEncoder.calibrate(targetHashMillis, minStrength, maxStrength);
+        // 暴露当前使用的工作因子，便于与已存储哈希的 strength 分布对照
+        Gauge.builder("auth.password.strength.configured", encoder, CalibratedPasswordEncoder::getStrength)
+                .register(meterRegistry);
+        return encoder;
     }
 }
@@ -0,0 +1,106 @@
+package com.alibou.security.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * 根据当前机器性能校准工作因子（strength）的 BCrypt 密码加密器。
+ * 核心职责：
+ * - 启动时实测不同 strength 下的哈希耗时，选出不超过目标延迟的最大 strength
+ * - 已存储哈希的 strength 低于当前配置时升级；高出两档及以上时降级，
+ *   相差一档的哈希保持不变，避免校准结果在相邻两档间波动时反复重新加密
+ */
+@Slf4j
+@Getter
+public class CalibratedPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int MIN_BCRYPT_STRENGTH = 4;  // BCrypt 允许的最小工作因子
+    private static final int MAX_BCRYPT_STRENGTH = 31; // BCrypt 允许的最大工作因子
+    private static final int SAMPLES = 5;               // 每个 strength 预热后的采样次数，取中位数
+    private static final int DOWNGRADE_MARGIN = 1;      // 已存储哈希允许高出当前 strength 的档数
+
+    private final int strength; // 当前使用的工作因子
+
+    public CalibratedPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * 在 [minStrength, maxStrength] 范围内选出单次哈希耗时不超过 targetMillis 的最大 strength。
+     * 每档先丢弃一次预热运行，再取多次采样的中位数，而不是最快一次，
+     * 避免按空闲机器的最佳耗时选出在实际登录负载下超出目标的 strength。
+     * BCrypt 的 strength 每加 1 耗时翻倍，因此一旦预计下一档会超出目标即停止测量。
+     * @param targetMillis 单次哈希的目标耗时（毫秒）
+     * @param minStrength 允许的最小 strength（即使超出目标也不会低于该值）
+     * @param maxStrength 允许的最大 strength
+     * @return 使用校准结果构造的加密器
+     */
+    public static CalibratedPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < MIN_BCRYPT_STRENGTH || maxStrength > MAX_BCRYPT_STRENGTH || minStrength > maxStrength) {
+            throw new IllegalArgumentException(
+                    "Invalid BCrypt strength range [" + minStrength + ", " + maxStrength + "]");
+        }
+        long targetNanos = targetMillis * 1_000_000;
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long elapsed = measureNanos(candidate);
+            if (elapsed > targetNanos) {
+                break; // 当前档已超出目标，保留上一档（最低不低于 minStrength）
+            }
+            chosen = candidate;
+            if (elapsed * 2 > targetNanos) {
+                break; // 下一档耗时预计翻倍，必然超出目标，无需再测
+            }
+        }
+        log.info("Calibrated BCrypt strength {} for a target of {} ms per hash", chosen, targetMillis);
+        return new CalibratedPasswordEncoder(chosen);
+    }
+
+    /**
+     * 判断已存储哈希是否需要重新加密：strength 偏低时升级，高出超过 DOWNGRADE_MARGIN 档时降级。
+     * 父类实现只会在 strength 偏低时升级，这里同时支持降级以满足延迟预算。
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = strengthOf(encodedPassword);
+        return stored != -1 && (stored < strength || stored > strength + DOWNGRADE_MARGIN);
+    }
+
+    /**
+     * 从 BCrypt 哈希（形如 $2a$10$...）中解析 strength
+     * @param encodedPassword 已加密的密码
+     * @return strength，无法解析时返回 -1
+     */
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * 测量指定 strength 下单次哈希的耗时（纳秒）：丢弃一次预热运行后取 SAMPLES 次采样的中位数
+     */
+    private static long measureNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration-password"); // 预热，不计入结果
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,31 @@
+package com.alibou.security.config;
+
+import com.alibou.security.user.Role;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明接口的访问权限，可标注在控制器类或处理方法上（方法上的声明优先）。
+ * 启动时由 EndpointAccessAuthorizationManager 收集并编译成 AccessRuleTable。
+ * 未声明的接口默认只要求已认证。
+ * 标注的接口路径只能使用整段通配（*、{var}、**、{*var}），部分通配（如 {name}.pdf）会导致启动失败。
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EndpointAccess {
+
+    /**
+     * 是否放行所有请求（包括未认证请求），为 true 时忽略 roles
+     */
+    boolean permitAll() default false;
+
+    /**
+     * 允许访问的角色，满足其一即可；为空表示只要求已认证
+     */
+    Role[] roles() default {};
+}
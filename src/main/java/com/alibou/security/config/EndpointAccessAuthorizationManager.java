@@ -0,0 +1,120 @@
+package com.alibou.security.config;
+
+import com.alibou.security.user.Role;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 基于 @EndpointAccess 声明的请求授权管理器。
+ * 核心职责：
+ * - 启动时遍历所有控制器接口，把 @EndpointAccess 声明编译成 AccessRuleTable
+ * - 每个请求在规则表中查找一次，根据当前用户的角色决定是否放行
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EndpointAccessAuthorizationManager
+        implements AuthorizationManager<RequestAuthorizationContext>, SmartInitializingSingleton {
+
+    private final ApplicationContext applicationContext;
+
+    // 规则表在所有单例初始化完成后编译，此前未匹配的请求按默认规则（需要认证）处理
+    private volatile AccessRuleTable table = AccessRuleTable.compile(List.of());
+
+    /**
+     * 所有单例（包括 RequestMappingHandlerMapping）初始化完成后编译规则表
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        var handlerMapping = applicationContext.getBean(
+                "requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        List<AccessRuleTable.Rule> rules = new ArrayList<>();
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+            // 方法上的声明优先于类上的声明
+            EndpointAccess declaration = AnnotatedElementUtils.findMergedAnnotation(
+                    handlerMethod.getMethod(), EndpointAccess.class);
+            if (declaration == null) {
+                declaration = AnnotatedElementUtils.findMergedAnnotation(
+                        handlerMethod.getBeanType(), EndpointAccess.class);
+            }
+            if (declaration == null) {
+                return; // 未声明的接口走默认规则
+            }
+            AccessRuleTable.Access access = toAccess(declaration);
+            Set<String> methods = info.getMethodsCondition().getMethods().stream()
+                    .map(RequestMethod::name)
+                    .collect(Collectors.toSet());
+            for (String pattern : info.getPatternValues()) {
+                rules.add(new AccessRuleTable.Rule(pattern, methods, access));
+            }
+        });
+        table = AccessRuleTable.compile(rules);
+        log.info("Compiled {} endpoint access rules", table.size());
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context.getRequest());
+    }
+
+    /**
+     * AuthorizationManager 中仍为抽象的旧方法，直接委托给 authorize
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context.getRequest());
+    }
+
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, HttpServletRequest request) {
+        AccessRuleTable.Access access = table.resolve(request.getMethod(), pathWithinApplication(request));
+        return new AuthorizationDecision(access.isGranted(authentication.get()));
+    }
+
+    /**
+     * 按 Spring MVC 的方式解析请求路径（去掉 context path，路径段解码后匹配），
+     * 避免 %2D 之类的编码路径绕过规则表却仍被路由到同一个处理方法
+     */
+    private static PathContainer pathWithinApplication(HttpServletRequest request) {
+        if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+            return ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+        }
+        RequestPath path = ServletRequestPathUtils.parseAndCache(request);
+        ServletRequestPathUtils.clearParsedRequestPath(request); // 交由 DispatcherServlet 自行解析
+        return path.pathWithinApplication();
+    }
+
+    /**
+     * 将注解声明转换为访问权限
+     */
+    private static AccessRuleTable.Access toAccess(EndpointAccess declaration) {
+        if (declaration.permitAll()) {
+            return AccessRuleTable.Access.permitAllAccess();
+        }
+        return AccessRuleTable.Access.anyRole(Arrays.stream(declaration.roles())
+                .map(Role::name)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.alibou.security.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 登录成功时按需重新加密密码的认证提供者。
+ * 核心职责：
+ * - 使用 PasswordUpgradingUserDetailsService 加载用户，并在 strength 不一致时由其写回新哈希
+ * - 在重新加密之前记录登录用户已存储哈希的 strength
+ */
+public class PasswordUpgradingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final MeterRegistry meterRegistry; // 指标注册中心
+
+    public PasswordUpgradingAuthenticationProvider(
+            PasswordUpgradingUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry
+    ) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);                  // 设置密码加密器
+        setUserDetailsPasswordService(userDetailsService);    // 登录成功后按需重新加密密码
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 仅在密码校验通过后调用；此时尚未重新加密，user 中仍是登录前已存储的哈希
+     */
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        // 只统计登录成功的用户，反映活跃用户的哈希 strength 分布，而非全部已存储哈希
+        Counter.builder("auth.login.password.strength")
+                .description("Strength of the stored password hash seen at successful login, before any rehash")
+                .tag("strength", String.valueOf(CalibratedPasswordEncoder.strengthOf(user.getPassword())))
+                .register(meterRegistry)
+                .increment();
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -0,0 +1,47 @@
+package com.alibou.security.config;
+
+import com.alibou.security.user.User;
+import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * 支持密码重新加密的用户详情服务。
+ * 核心职责：
+ * - 根据用户名（email）从数据库加载用户信息
+ * - 登录成功且已存储哈希的 strength 与当前配置不一致时，由 DaoAuthenticationProvider
+ *   回调 updatePassword，把新哈希写回数据库并记录重新加密指标
+ */
+@RequiredArgsConstructor
+public class PasswordUpgradingUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository repository; // 用户数据操作接口
+    private final MeterRegistry meterRegistry; // 指标注册中心
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // 根据用户名查询用户，找不到则抛出异常
+        return repository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("USER NOT FOUND"));
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var entity = (User) user; // 即 loadUserByUsername 返回的实体，无需再次查询
+        int from = CalibratedPasswordEncoder.strengthOf(entity.getPassword());
+        int to = CalibratedPasswordEncoder.strengthOf(newPassword);
+        entity.setPassword(newPassword); // 替换为按当前 strength 重新加密的哈希
+        var saved = repository.save(entity);
+        // 记录重新加密次数，按方向（升级/降级）与前后 strength 区分
+        meterRegistry.counter("auth.password.rehash",
+                "direction", to > from ? "upgrade" : "downgrade",
+                "from", String.valueOf(from),
+                "to", String.valueOf(to)
+        ).increment();
+        return saved;
+    }
+}
@@ -1,7 +1,10 @@
 package com.alibou.security.config;
 
+import com.alibou.security.user.Role;
 import jakarta.servlet.Filter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -18,6 +21,7 @@ public class SecurityConfiguration {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final EndpointAccessAuthorizationManager endpointAccessAuthorizationManager;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -33,10 +37,11 @@ public class SecurityConfiguration {
                 )
                 // 配置请求授权规则
                 .authorizeHttpRequests(auth -> auth
-                        // 放行认证接口（如登录/注册）
-                        .requestMatchers("/api/v1/auth/**").permitAll()
-                        // 其他请求必须认证
-                        .anyRequest().authenticated()
+                        // Actuator 端点不在控制器映射中，单独声明：健康检查供探针匿名访问，其余端点（如 metrics）仅限管理员
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority(Role.ADMIN.name())
+                        // 其他请求由控制器上的 @EndpointAccess 声明编译成的规则表统一判定，未声明的接口必须认证
+                        .anyRequest().access(endpointAccessAuthorizationManager)
                 )
                 // 设置认证提供者，用于校验用户名密码
                 .authenticationProvider(authenticationProvider)
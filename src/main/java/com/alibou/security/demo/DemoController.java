@@ -1,11 +1,14 @@
 package com.alibou.security.demo;
 
+import com.alibou.security.config.EndpointAccess;
+import com.alibou.security.user.Role;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@EndpointAccess(roles = {Role.USER, Role.ADMIN})
 @RequestMapping("api/v1/demo-controller")
 public class DemoController {
 
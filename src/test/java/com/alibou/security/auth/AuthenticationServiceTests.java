@@ -0,0 +1,64 @@
+package com.alibou.security.auth;
+
+import com.alibou.security.config.JwtService;
+import com.alibou.security.user.Role;
+import com.alibou.security.user.User;
+import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTests {
+
+	private UserRepository repository;
+	private JwtService jwtService;
+	private AuthenticationManager authenticationManager;
+	private SimpleMeterRegistry meterRegistry;
+	private AuthenticationService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(UserRepository.class);
+		jwtService = mock(JwtService.class);
+		authenticationManager = mock(AuthenticationManager.class);
+		meterRegistry = new SimpleMeterRegistry();
+		service = new AuthenticationService(
+				repository, mock(PasswordEncoder.class), jwtService, authenticationManager, meterRegistry);
+	}
+
+	@Test
+	void successfulLoginUsesAuthenticatedPrincipalAndRecordsTimer() {
+		User user = User.builder().email("user@example.com").password("$2a$12$hash").role(Role.USER).build();
+		when(authenticationManager.authenticate(any())).thenReturn(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		when(jwtService.generateToken(user)).thenReturn("token");
+
+		var response = service.authenticate(new AuthenticationRequest("user@example.com", "secret"));
+
+		assertEquals("token", response.getToken());
+		verifyNoInteractions(repository);
+		assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "success").timer().count());
+	}
+
+	@Test
+	void failedLoginRecordsFailureTimer() {
+		when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+		assertThrows(BadCredentialsException.class,
+				() -> service.authenticate(new AuthenticationRequest("user@example.com", "wrong")));
+
+		verifyNoInteractions(repository);
+		assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "failure").timer().count());
+	}
+}
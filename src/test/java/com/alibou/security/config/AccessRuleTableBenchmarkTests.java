@@ -0,0 +1,204 @@
+package com.alibou.security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 对比 1000 条规则下预编译规则表与 Spring Security 线性 requestMatchers 链的判定结果和耗时。
+ * 线性链按 PathPattern 特异性排序，与 Spring MVC 选择处理方法的顺序一致。
+ */
+class AccessRuleTableBenchmarkTests {
+
+	private static final int RULES = 1000;
+	private static final int RESOURCES = 240; // 每个资源 4 条规则
+	private static final int ITERATIONS = 50;
+	private static final int ROUNDS = 5;
+
+	private static final List<Authentication> AUTHENTICATIONS = List.of(
+			new AnonymousAuthenticationToken("key", "anonymous", List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))),
+			UsernamePasswordAuthenticationToken.authenticated("nobody", null, List.of()),
+			UsernamePasswordAuthenticationToken.authenticated("user", null, List.of(new SimpleGrantedAuthority("USER"))),
+			UsernamePasswordAuthenticationToken.authenticated("admin", null, List.of(new SimpleGrantedAuthority("ADMIN")))
+	);
+
+	private static AccessRuleTable table;
+	private static AuthorizationManager<HttpServletRequest> linear;
+	private static List<MockHttpServletRequest> requests;
+
+	@BeforeAll
+	static void compileRules() {
+		var permitAll = AccessRuleTable.Access.permitAllAccess();
+		var authenticated = AccessRuleTable.Access.authenticated();
+		var admin = AccessRuleTable.Access.anyRole(Set.of("ADMIN"));
+		var user = AccessRuleTable.Access.anyRole(Set.of("USER", "ADMIN"));
+
+		List<AccessRuleTable.Rule> rules = new ArrayList<>();
+		requests = new ArrayList<>();
+		for (int i = 0; i < RESOURCES; i++) {
+			String items = "/api/v1/resource" + i + "/items";
+			rules.add(rule(items, "GET", i % 50 == 0 ? permitAll : user));
+			rules.add(rule(items, "POST", admin));
+			rules.add(rule(items + "/{id}", "GET", authenticated));
+			rules.add(rule(items + "/{id}", "DELETE", admin));
+
+			requests.add(new MockHttpServletRequest("GET", items));
+			requests.add(new MockHttpServletRequest("POST", items));
+			requests.add(new MockHttpServletRequest("GET", items + "/42"));
+			requests.add(new MockHttpServletRequest("DELETE", items + "/42"));
+		}
+		// 多段通配、不限方法、字面量与通配重叠的规则
+		rules.add(rule("/api/v1/files/**", null, permitAll));
+		rules.add(rule("/api/v1/files/private/{name}", "GET", admin));
+		rules.add(rule("/api/v1/docs/{*path}", "GET", user));
+		rules.add(rule("/api/v1/files/{name}", "DELETE", admin));
+		rules.add(rule("/api/v1/*/summary", "GET", authenticated));
+		rules.add(rule("/api/v1/resource3/**", null, admin));
+		rules.add(rule("/api/v1/reports/{year}/{month}", "GET", user));
+		rules.add(rule("/api/v1/reports/latest/{month}", "GET", permitAll));
+		for (int i = 0; rules.size() < RULES; i++) {
+			rules.add(rule("/api/v1/legacy" + i + "/{*path}", null, admin));
+		}
+
+		for (String[] request : new String[][] {
+				{"GET", "/api/v1/files"},
+				{"PUT", "/api/v1/files/a/b"},
+				{"GET", "/api/v1/files/private"},
+				{"GET", "/api/v1/files/private/a"},
+				{"GET", "/api/v1/files/private/a/b"},
+				{"GET", "/api/v1/docs"},
+				{"GET", "/api/v1/docs/a/b"},
+				{"POST", "/api/v1/docs/a"},
+				{"DELETE", "/api/v1/files/private"},
+				{"DELETE", "/api/v1/files/readme"},
+				{"GET", "/api/v1/resource3/summary"},
+				{"GET", "/api/v1/resource7/summary"},
+				{"PUT", "/api/v1/resource3/items"},
+				{"GET", "/api/v1/resource3/items/42/extra"},
+				{"GET", "/api/v1/reports/2024/05"},
+				{"GET", "/api/v1/reports/latest/05"},
+				{"GET", "/api/v1/legacy3/anything/here"},
+				{"GET", "/api/v1/resource1%2Ditems"},
+				{"GET", "/api/v1/resource1/%69tems"},
+				{"DELETE", "/api/v1/resource%31/items/42"},
+				{"GET", "/api/v1/unknown"}}) {
+			requests.add(new MockHttpServletRequest(request[0], request[1]));
+		}
+
+		table = AccessRuleTable.compile(rules);
+		linear = linearChain(rules);
+	}
+
+	@Test
+	void resolvesSameDecisionsAsLinearMatcherChain() {
+		assertEquals(RULES, table.size());
+		for (MockHttpServletRequest request : requests) {
+			for (Authentication authentication : AUTHENTICATIONS) {
+				assertEquals(linearDecision(request, authentication), tableDecision(request, authentication),
+						request.getMethod() + " " + request.getRequestURI() + " as " + authentication.getName());
+			}
+		}
+	}
+
+	/**
+	 * 耗时测量依赖机器负载，不参与默认构建；通过 mvn test -Dtest=AccessRuleTableBenchmarkTests -Dbenchmark=true 运行
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void benchmarkAgainstLinearMatcherChain() {
+		Authentication user = AUTHENTICATIONS.get(2);
+		long tableNanos = Long.MAX_VALUE;
+		long linearNanos = Long.MAX_VALUE;
+		// 交替多轮测量取最快一次，第一轮同时起到预热作用
+		for (int round = 0; round < ROUNDS; round++) {
+			tableNanos = Math.min(tableNanos, run(() -> requests.forEach(request -> tableDecision(request, user))));
+			linearNanos = Math.min(linearNanos, run(() -> requests.forEach(request -> linearDecision(request, user))));
+		}
+		long lookups = (long) ITERATIONS * requests.size();
+		System.out.printf("%d rules: trie %d ns/op, linear matcher chain %d ns/op%n",
+				table.size(), tableNanos / lookups, linearNanos / lookups);
+	}
+
+	private static long run(Runnable pass) {
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			pass.run();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static boolean tableDecision(HttpServletRequest request, Authentication authentication) {
+		return table.resolve(request.getMethod(), request.getRequestURI()).isGranted(authentication);
+	}
+
+	private static boolean linearDecision(HttpServletRequest request, Authentication authentication) {
+		return linear.authorize(() -> authentication, request).isGranted();
+	}
+
+	private static AccessRuleTable.Rule rule(String pattern, String method, AccessRuleTable.Access access) {
+		return new AccessRuleTable.Rule(pattern, method == null ? Set.of() : Set.of(method), access);
+	}
+
+	/**
+	 * 按特异性排序（同一路径上指定方法的规则在前）构建线性 requestMatchers 链，未匹配时要求认证
+	 */
+	private static AuthorizationManager<HttpServletRequest> linearChain(List<AccessRuleTable.Rule> rules) {
+		Comparator<AccessRuleTable.Rule> bySpecificity = Comparator
+				.comparing((AccessRuleTable.Rule rule) -> PathPatternParser.defaultInstance.parse(rule.pattern()),
+						PathPattern.SPECIFICITY_COMPARATOR)
+				.thenComparing(rule -> rule.methods().isEmpty());
+		var builder = RequestMatcherDelegatingAuthorizationManager.builder();
+		rules.stream().sorted(bySpecificity).forEach(rule -> {
+			for (RequestMatcher matcher : matchers(rule)) {
+				builder.add(matcher, linearManager(rule.access()));
+			}
+		});
+		builder.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated());
+		return builder.build();
+	}
+
+	private static List<RequestMatcher> matchers(AccessRuleTable.Rule rule) {
+		if (rule.methods().isEmpty()) {
+			return List.of(PathPatternRequestMatcher.withDefaults().matcher(rule.pattern()));
+		}
+		return rule.methods().stream()
+				.<RequestMatcher>map(method -> PathPatternRequestMatcher.withDefaults()
+						.matcher(HttpMethod.valueOf(method), rule.pattern()))
+				.toList();
+	}
+
+	private static AuthorizationManager<RequestAuthorizationContext> linearManager(AccessRuleTable.Access access) {
+		if (access.permitAll()) {
+			return (authentication, context) -> new AuthorizationDecision(true);
+		}
+		if (access.roles().isEmpty()) {
+			return AuthenticatedAuthorizationManager.authenticated();
+		}
+		return AuthorityAuthorizationManager.hasAnyAuthority(access.roles().toArray(String[]::new));
+	}
+}
@@ -0,0 +1,113 @@
+package com.alibou.security.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessRuleTableTests {
+
+	private static final AccessRuleTable.Access PERMIT_ALL = AccessRuleTable.Access.permitAllAccess();
+	private static final AccessRuleTable.Access AUTHENTICATED = AccessRuleTable.Access.authenticated();
+	private static final AccessRuleTable.Access ADMIN = AccessRuleTable.Access.anyRole(Set.of("ADMIN"));
+	private static final AccessRuleTable.Access USER = AccessRuleTable.Access.anyRole(Set.of("USER"));
+
+	@Test
+	void unmatchedPathRequiresAuthentication() {
+		var table = compile(rule("/a", Set.of("GET"), PERMIT_ALL));
+		assertEquals(AUTHENTICATED, table.resolve("GET", "/b"));
+		assertEquals(AUTHENTICATED, table.resolve("GET", "/a/b"));
+	}
+
+	@Test
+	void encodedPathResolvesLikeDecodedPath() {
+		var table = compile(rule("/api/v1/demo-controller", Set.of("GET"), ADMIN));
+		assertEquals(ADMIN, table.resolve("GET", "/api/v1/demo-controller"));
+		assertEquals(ADMIN, table.resolve("GET", "/api/v1/demo%2Dcontroller"));
+		assertEquals(ADMIN, table.resolve("GET", "/api/v1/%64emo-controller"));
+	}
+
+	@Test
+	void catchAllMatchesZeroOrMoreSegments() {
+		var table = compile(
+				rule("/files/**", Set.of(), PERMIT_ALL),
+				rule("/docs/{*path}", Set.of(), USER));
+		assertEquals(PERMIT_ALL, table.resolve("GET", "/files"));
+		assertEquals(PERMIT_ALL, table.resolve("GET", "/files/a/b/c"));
+		assertEquals(USER, table.resolve("GET", "/docs"));
+		assertEquals(USER, table.resolve("GET", "/docs/a/b"));
+	}
+
+	@Test
+	void literalBranchFallsBackToWildcard() {
+		var table = compile(
+				rule("/a/b/c", Set.of("GET"), ADMIN),
+				rule("/a/{x}/d", Set.of("GET"), PERMIT_ALL));
+		assertEquals(ADMIN, table.resolve("GET", "/a/b/c"));
+		assertEquals(PERMIT_ALL, table.resolve("GET", "/a/b/d"));
+	}
+
+	@Test
+	void mostSpecificPatternWins() {
+		var table = compile(
+				rule("/a/**", Set.of(), PERMIT_ALL),
+				rule("/*/b", Set.of(), ADMIN),
+				rule("/a/c", Set.of(), USER));
+		assertEquals(ADMIN, table.resolve("GET", "/a/b"));
+		assertEquals(USER, table.resolve("GET", "/a/c"));
+		assertEquals(PERMIT_ALL, table.resolve("GET", "/a/d"));
+	}
+
+	@Test
+	void declaredMethodFallsBackToAnyMethod() {
+		var table = compile(
+				rule("/x", Set.of("GET"), ADMIN),
+				rule("/x", Set.of(), USER));
+		assertEquals(ADMIN, table.resolve("GET", "/x"));
+		assertEquals(USER, table.resolve("POST", "/x"));
+	}
+
+	@Test
+	void headUsesGetRule() {
+		var table = compile(rule("/x", Set.of("GET"), PERMIT_ALL));
+		assertEquals(PERMIT_ALL, table.resolve("HEAD", "/x"));
+		assertEquals(AUTHENTICATED, table.resolve("POST", "/x"));
+	}
+
+	@Test
+	void optionsGrantedWhenAnyDeclaredMethodIs() {
+		var table = compile(
+				rule("/x", Set.of("GET"), PERMIT_ALL),
+				rule("/x", Set.of("POST"), ADMIN),
+				rule("/y", Set.of("POST"), ADMIN),
+				rule("/y", Set.of("DELETE"), USER));
+		assertEquals(PERMIT_ALL, table.resolve("OPTIONS", "/x"));
+		assertEquals(AccessRuleTable.Access.anyRole(Set.of("ADMIN", "USER")), table.resolve("OPTIONS", "/y"));
+	}
+
+	@Test
+	void conflictingRulesAreRejected() {
+		assertThrows(IllegalStateException.class, () -> compile(
+				rule("/a/{id}", Set.of("GET"), ADMIN),
+				rule("/a/*", Set.of("GET"), PERMIT_ALL)));
+	}
+
+	@Test
+	void partialSegmentPatternsAreRejected() {
+		for (String pattern : List.of("/docs/{name}.pdf", "/a/*.json", "/a/{id:\\d+}", "/file-?")) {
+			assertThrows(IllegalArgumentException.class,
+					() -> compile(rule(pattern, Set.of("GET"), PERMIT_ALL)), pattern);
+		}
+	}
+
+	private static AccessRuleTable.Rule rule(String pattern, Set<String> methods, AccessRuleTable.Access access) {
+		return new AccessRuleTable.Rule(pattern, methods, access);
+	}
+
+	private static AccessRuleTable compile(AccessRuleTable.Rule... rules) {
+		return AccessRuleTable.compile(List.of(rules));
+	}
+}
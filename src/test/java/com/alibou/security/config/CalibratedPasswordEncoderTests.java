@@ -0,0 +1,72 @@
+package com.alibou.security.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalibratedPasswordEncoderTests {
+
+	private static final String HASH_10 = "$2a$10$dXJ3SW6G7P50lGmMkkmwe.20cQQubK3.HZWzG3YB1tlRy.fqvM/BG";
+
+	@Test
+	void strengthOfParsesBCryptHashes() {
+		assertEquals(10, CalibratedPasswordEncoder.strengthOf(HASH_10));
+		assertEquals(12, CalibratedPasswordEncoder.strengthOf("$2b$12$abc"));
+	}
+
+	@Test
+	void strengthOfRejectsUnparseableInput() {
+		assertEquals(-1, CalibratedPasswordEncoder.strengthOf(null));
+		assertEquals(-1, CalibratedPasswordEncoder.strengthOf(""));
+		assertEquals(-1, CalibratedPasswordEncoder.strengthOf("$2a$1"));
+		assertEquals(-1, CalibratedPasswordEncoder.strengthOf("$2a$xx$abc"));
+		assertEquals(-1, CalibratedPasswordEncoder.strengthOf("{bcrypt}" + HASH_10));
+	}
+
+	@Test
+	void upgradeEncodingUpgradesWeakerHashes() {
+		var encoder = new CalibratedPasswordEncoder(12);
+		assertTrue(encoder.upgradeEncoding(HASH_10));
+		assertTrue(encoder.upgradeEncoding("$2a$11$abc"));
+	}
+
+	@Test
+	void upgradeEncodingDowngradesOnlyBeyondOneStep() {
+		var encoder = new CalibratedPasswordEncoder(10);
+		assertFalse(encoder.upgradeEncoding("$2a$11$abc"));
+		assertTrue(encoder.upgradeEncoding("$2a$12$abc"));
+		assertTrue(encoder.upgradeEncoding("$2a$14$abc"));
+	}
+
+	@Test
+	void upgradeEncodingKeepsEqualAndUnparseableHashes() {
+		var encoder = new CalibratedPasswordEncoder(10);
+		assertFalse(encoder.upgradeEncoding(HASH_10));
+		assertFalse(encoder.upgradeEncoding(null));
+		assertFalse(encoder.upgradeEncoding("plain-text"));
+		assertFalse(encoder.upgradeEncoding("{bcrypt}" + HASH_10));
+	}
+
+	@Test
+	void calibrateFallsBackToMinStrengthWhenTargetIsUnreachable() {
+		var encoder = CalibratedPasswordEncoder.calibrate(0, 5, 8);
+		assertEquals(5, encoder.getStrength());
+		assertEquals(5, CalibratedPasswordEncoder.strengthOf(encoder.encode("password")));
+	}
+
+	@Test
+	void calibrateStaysWithinRange() {
+		var encoder = CalibratedPasswordEncoder.calibrate(Long.MAX_VALUE / 2_000_000, 4, 5);
+		assertEquals(5, encoder.getStrength());
+	}
+
+	@Test
+	void calibrateRejectsInvalidRange() {
+		assertThrows(IllegalArgumentException.class, () -> CalibratedPasswordEncoder.calibrate(250, 3, 10));
+		assertThrows(IllegalArgumentException.class, () -> CalibratedPasswordEncoder.calibrate(250, 10, 32));
+		assertThrows(IllegalArgumentException.class, () -> CalibratedPasswordEncoder.calibrate(250, 12, 10));
+	}
+}
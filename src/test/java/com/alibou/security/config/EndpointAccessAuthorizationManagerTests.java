@@ -0,0 +1,109 @@
+package com.alibou.security.config;
+
+import com.alibou.security.auth.AuthenticationController;
+import com.alibou.security.auth.AuthenticationService;
+import com.alibou.security.demo.DemoController;
+import com.alibou.security.user.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {
+		AuthenticationController.class,
+		DemoController.class,
+		EndpointAccessAuthorizationManagerTests.AdminController.class
+})
+// 嵌套在测试类中的控制器会被 @WebMvcTest 的扫描跳过，需要显式导入
+@Import({
+		SecurityConfiguration.class,
+		EndpointAccessAuthorizationManager.class,
+		EndpointAccessAuthorizationManagerTests.AdminController.class
+})
+class EndpointAccessAuthorizationManagerTests {
+
+	private static final RequestPostProcessor USER = user("user").authorities(new SimpleGrantedAuthority("USER"));
+	private static final RequestPostProcessor ROLE_LESS = user("nobody").authorities(List.of());
+
+	@Autowired
+	private MockMvc mvc;
+
+	@MockitoBean
+	private JwtService jwtService;
+	@MockitoBean
+	private UserDetailsService userDetailsService;
+	@MockitoBean
+	private AuthenticationProvider authenticationProvider;
+	@MockitoBean
+	private AuthenticationService authenticationService;
+
+	@Test
+	void authEndpointsArePublic() throws Exception {
+		mvc.perform(post("/api/v1/auth/authenticate").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isOk());
+		mvc.perform(post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isOk());
+		mvc.perform(options("/api/v1/auth/register"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void demoEndpointRequiresUserOrAdmin() throws Exception {
+		mvc.perform(get("/api/v1/demo-controller")).andExpect(status().isForbidden());
+		mvc.perform(get("/api/v1/demo-controller").with(ROLE_LESS)).andExpect(status().isForbidden());
+		mvc.perform(get("/api/v1/demo-controller").with(USER)).andExpect(status().isOk());
+		mvc.perform(head("/api/v1/demo-controller").with(ROLE_LESS)).andExpect(status().isForbidden());
+		mvc.perform(head("/api/v1/demo-controller").with(USER)).andExpect(status().isOk());
+	}
+
+	@Test
+	void encodedPathGetsSameDecisionAsPlainPath() throws Exception {
+		mvc.perform(get(URI.create("/api/v1/demo%2Dcontroller")).with(ROLE_LESS)).andExpect(status().isForbidden());
+		mvc.perform(get(URI.create("/api/v1/demo%2Dcontroller")).with(USER)).andExpect(status().isOk());
+	}
+
+	@Test
+	void methodDeclarationOverridesClassDeclaration() throws Exception {
+		mvc.perform(get("/api/v1/test-admin").with(USER)).andExpect(status().isForbidden());
+		mvc.perform(get("/api/v1/test-admin").with(user("admin").authorities(new SimpleGrantedAuthority("ADMIN"))))
+				.andExpect(status().isOk());
+		mvc.perform(get("/api/v1/test-admin/public")).andExpect(status().isOk());
+	}
+
+	@RestController
+	@EndpointAccess(roles = Role.ADMIN)
+	@RequestMapping("api/v1/test-admin")
+	static class AdminController {
+
+		@GetMapping
+		public String admin() {
+			return "admin";
+		}
+
+		@GetMapping("/public")
+		@EndpointAccess(permitAll = true)
+		public String open() {
+			return "public";
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.alibou.security.config;
+
+import com.alibou.security.user.Role;
+import com.alibou.security.user.User;
+import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordUpgradingAuthenticationProviderTests {
+
+	private static final String EMAIL = "user@example.com";
+	private static final String PASSWORD = "secret";
+
+	private UserRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private CalibratedPasswordEncoder encoder;
+	private PasswordUpgradingAuthenticationProvider provider;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(UserRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		encoder = new CalibratedPasswordEncoder(12);
+		provider = new PasswordUpgradingAuthenticationProvider(
+				new PasswordUpgradingUserDetailsService(repository, meterRegistry), encoder, meterRegistry);
+		when(repository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void loginRehashesWeakerStoredHash() {
+		User user = storedUser(new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+		var authentication = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD));
+
+		assertSame(user, authentication.getPrincipal());
+		verify(repository).save(user);
+		assertEquals(12, CalibratedPasswordEncoder.strengthOf(user.getPassword()));
+		assertTrue(encoder.matches(PASSWORD, user.getPassword()));
+		assertEquals(1.0, meterRegistry.get("auth.login.password.strength").tag("strength", "10").counter().count());
+		assertEquals(1.0, meterRegistry.get("auth.password.rehash")
+				.tag("direction", "upgrade").tag("from", "10").tag("to", "12")
+				.counter().count());
+	}
+
+	@Test
+	void loginKeepsHashWithCurrentStrength() {
+		String hash = encoder.encode(PASSWORD);
+		User user = storedUser(hash);
+
+		provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD));
+
+		assertEquals(hash, user.getPassword());
+		verify(repository, never()).save(any());
+		assertEquals(1.0, meterRegistry.get("auth.login.password.strength").tag("strength", "12").counter().count());
+		assertNull(meterRegistry.find("auth.password.rehash").counter());
+	}
+
+	@Test
+	void failedLoginNeitherRehashesNorCounts() {
+		storedUser(new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+		assertThrows(BadCredentialsException.class, () ->
+				provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, "wrong")));
+
+		verify(repository, never()).save(any());
+		assertNull(meterRegistry.find("auth.login.password.strength").counter());
+	}
+
+	private User storedUser(String password) {
+		User user = User.builder()
+				.email(EMAIL)
+				.password(password)
+				.role(Role.USER)
+				.build();
+		when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+		return user;
+	}
+}
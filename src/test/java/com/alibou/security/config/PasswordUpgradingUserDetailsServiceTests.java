@@ -0,0 +1,67 @@
+package com.alibou.security.config;
+
+import com.alibou.security.user.Role;
+import com.alibou.security.user.User;
+import com.alibou.security.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordUpgradingUserDetailsServiceTests {
+
+	private UserRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private PasswordUpgradingUserDetailsService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(UserRepository.class);
+		meterRegistry = new SimpleMeterRegistry();
+		service = new PasswordUpgradingUserDetailsService(repository, meterRegistry);
+		when(repository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void updatePasswordSavesUpgradedHash() {
+		User user = storedUser("$2a$10$old");
+
+		var updated = service.updatePassword(user, "$2a$12$new");
+
+		assertSame(user, updated);
+		assertEquals("$2a$12$new", user.getPassword());
+		verify(repository).save(user);
+		verify(repository, never()).findByEmail(any());
+		assertEquals(1.0, meterRegistry.get("auth.password.rehash")
+				.tag("direction", "upgrade").tag("from", "10").tag("to", "12")
+				.counter().count());
+	}
+
+	@Test
+	void updatePasswordTagsDowngrade() {
+		User user = storedUser("$2a$14$old");
+
+		service.updatePassword(user, "$2a$10$new");
+
+		assertEquals("$2a$10$new", user.getPassword());
+		verify(repository).save(user);
+		assertEquals(1.0, meterRegistry.get("auth.password.rehash")
+				.tag("direction", "downgrade").tag("from", "14").tag("to", "10")
+				.counter().count());
+	}
+
+	private static User storedUser(String password) {
+		return User.builder()
+				.email("user@example.com")
+				.password(password)
+				.role(Role.USER)
+				.build();
+	}
+}